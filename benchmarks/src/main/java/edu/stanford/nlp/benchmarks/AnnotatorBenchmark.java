@@ -0,0 +1,125 @@
+package edu.stanford.nlp.benchmarks;
+
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.CoreNLPProtos;
+import edu.stanford.nlp.pipeline.ProtobufAnnotationSerializer;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code annotate(Annotation)} of a single annotator from all-classes.csv.
+ * The annotators it depends on run once per trial; every invocation then gets a
+ * fresh copy of that prepared document, so only the benchmarked annotator is timed.
+ * <p>
+ * The copy is made in an invocation-level setup, which JMH does not time but
+ * {@code -prof gc} does count: {@code gc.alloc.rate.norm} of {@code throughput}
+ * and {@code latency} includes it. {@link #copy()} does nothing but that copy;
+ * subtract its allocation for the same parameters to get the annotator's own.
+ * <p>
+ * There is no {@code ssplit} case: since CoreNLP 4.5 the tokenizer already sets
+ * the sentences and {@code WordsToSentencesAnnotator} finds nothing left to do,
+ * so sentence splitting is measured as part of {@code tokenize}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+public class AnnotatorBenchmark {
+
+  private static final Map<String, String> PREREQUISITES = new HashMap<>();
+
+  static {
+    PREREQUISITES.put("tokenize", "");                                           // TokenizerAnnotator
+    PREREQUISITES.put("pos", "tokenize,ssplit");                                 // POSTaggerAnnotator
+    PREREQUISITES.put("lemma", "tokenize,ssplit,pos");                           // MorphaAnnotator
+    PREREQUISITES.put("ner", "tokenize,ssplit,pos,lemma");                       // NERCombinerAnnotator
+    PREREQUISITES.put("regexner", "tokenize,ssplit,pos,lemma,ner");              // TokensRegexNERAnnotator
+    PREREQUISITES.put("parse", "tokenize,ssplit,pos");                           // ParserAnnotator
+    PREREQUISITES.put("sentiment", "tokenize,ssplit,pos,parse");                 // SentimentAnnotator
+    PREREQUISITES.put("coref", "tokenize,ssplit,pos,lemma,ner,parse,coref.mention"); // CorefAnnotator
+    PREREQUISITES.put("kbp", "tokenize,ssplit,pos,lemma,ner,parse,coref.mention,coref"); // KBPAnnotator
+  }
+
+  @Param({"tokenize", "pos", "lemma", "ner", "regexner", "parse", "sentiment", "coref", "kbp"})
+  public String annotator;
+
+  @Param({"10", "50", "250"})
+  public int sentences;
+
+  /** Sentences annotated in parallel within one document ({@code <annotator>.nthreads}). */
+  @Param({"1"})
+  public int threads;
+
+  /** Sentences longer than this are skipped by pos and parse ({@code <annotator>.maxlen}); 0 keeps all. */
+  @Param({"0"})
+  public int maxLength;
+
+  private final ProtobufAnnotationSerializer serializer = new ProtobufAnnotationSerializer(false);
+
+  private StanfordCoreNLP pipeline;
+  private String text;
+  private CoreNLPProtos.Document prepared;
+  private Annotation document;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    text = Corpus.text(sentences);
+    String prerequisites = PREREQUISITES.get(annotator);
+
+    if (!prerequisites.isEmpty()) {
+      Annotation annotation = new Annotation(text);
+      new StanfordCoreNLP(properties(prerequisites)).annotate(annotation);
+      prepared = serializer.toProto(annotation);
+    }
+    Properties props = properties(annotator);
+    props.setProperty(annotator + ".nthreads", Integer.toString(threads));
+    if (maxLength > 0) {
+      props.setProperty(annotator + ".maxlen", Integer.toString(maxLength));
+    }
+    // Requirements were satisfied by the pipeline above
+    pipeline = new StanfordCoreNLP(props, false);
+  }
+
+  @Setup(Level.Invocation)
+  public void copyDocument() {
+    document = prepared == null ? new Annotation(text) : serializer.fromProto(prepared);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public Annotation throughput() {
+    pipeline.annotate(document);
+    return document;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Annotation latency() {
+    pipeline.annotate(document);
+    return document;
+  }
+
+  /** Baseline for {@code -prof gc}: allocates only the per-invocation document copy. */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public Annotation copy() {
+    return document;
+  }
+
+  static Properties properties(String annotators) {
+    Properties props = new Properties();
+    props.setProperty("annotators", annotators);
+    // SentimentAnnotator reads the binarized trees produced by the parser
+    props.setProperty("parse.binaryTrees", "true");
+    props.setProperty("coref.algorithm", "statistical");
+    return props;
+  }
+}
@@ -0,0 +1,86 @@
+package edu.stanford.nlp.benchmarks;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.pipeline.Annotation;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory {@link AnnotatorListener} that keeps every per-document sample and
+ * summarizes each annotator as percentiles, so the annotator behind the tail
+ * latency stands out.
+ */
+public class AnnotatorHistograms implements AnnotatorListener {
+
+  private static final String HEADER = "annotator,documents,tokens,sentences,"
+      + "wall_p50_ms,wall_p90_ms,wall_p99_ms,wall_max_ms,cpu_p50_ms,cpu_p99_ms,alloc_p50_bytes,alloc_p99_bytes";
+
+  private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+  @Override
+  public synchronized void annotated(String annotator, Annotation document,
+                                     long wallNanos, long cpuNanos, long allocatedBytes) {
+    samples.computeIfAbsent(annotator, k -> new Samples()).add(document, wallNanos, cpuNanos, allocatedBytes);
+  }
+
+  public synchronized void writeCsv(Path file) throws IOException {
+    try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+      out.println(HEADER);
+      for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+        Samples s = entry.getValue();
+        out.printf(Locale.ROOT, "%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d%n",
+            entry.getKey(), s.size, s.tokens, s.sentences,
+            millis(s.wall, s.size, 0.50), millis(s.wall, s.size, 0.90),
+            millis(s.wall, s.size, 0.99), millis(s.wall, s.size, 1.0),
+            millis(s.cpu, s.size, 0.50), millis(s.cpu, s.size, 0.99),
+            percentile(s.allocated, s.size, 0.50), percentile(s.allocated, s.size, 0.99));
+      }
+    }
+  }
+
+  private static double millis(long[] nanos, int size, double p) {
+    return percentile(nanos, size, p) / 1e6;
+  }
+
+  private static long percentile(long[] values, int size, double p) {
+    long[] sorted = Arrays.copyOf(values, size);
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(p * size) - 1;
+    return sorted[Math.max(0, Math.min(size - 1, index))];
+  }
+
+  private static class Samples {
+    int size;
+    long tokens;
+    long sentences;
+    long[] wall = new long[64];
+    long[] cpu = new long[64];
+    long[] allocated = new long[64];
+
+    void add(Annotation document, long wallNanos, long cpuNanos, long allocatedBytes) {
+      if (size == wall.length) {
+        wall = Arrays.copyOf(wall, size * 2);
+        cpu = Arrays.copyOf(cpu, size * 2);
+        allocated = Arrays.copyOf(allocated, size * 2);
+      }
+      wall[size] = wallNanos;
+      cpu[size] = cpuNanos;
+      allocated[size] = allocatedBytes;
+      size++;
+      tokens += count(document.get(CoreAnnotations.TokensAnnotation.class));
+      sentences += count(document.get(CoreAnnotations.SentencesAnnotation.class));
+    }
+
+    private static int count(List<?> list) {
+      return list == null ? 0 : list.size();
+    }
+  }
+}
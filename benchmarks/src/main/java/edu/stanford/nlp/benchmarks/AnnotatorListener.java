@@ -0,0 +1,18 @@
+package edu.stanford.nlp.benchmarks;
+
+import edu.stanford.nlp.pipeline.Annotation;
+
+/**
+ * Receives the cost of one annotator on one document from {@link InstrumentedPipeline}.
+ */
+public interface AnnotatorListener {
+
+  /**
+   * @param annotator      annotator name as used in the {@code annotators} property
+   * @param document       the document right after the annotator ran
+   * @param wallNanos      elapsed time
+   * @param cpuNanos       CPU time of the calling thread
+   * @param allocatedBytes bytes allocated by the calling thread
+   */
+  void annotated(String annotator, Annotation document, long wallNanos, long cpuNanos, long allocatedBytes);
+}
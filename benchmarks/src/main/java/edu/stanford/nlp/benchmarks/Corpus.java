@@ -0,0 +1,74 @@
+package edu.stanford.nlp.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fixed English corpora shared by the benchmarks: news sentences, and dialogue
+ * paragraphs with straight, curly, nested and unclosed quotes. Documents of any
+ * size are built by cycling through the same lines, so runs on different
+ * CoreNLP versions see exactly the same input.
+ */
+public final class Corpus {
+
+  private static final List<String> SENTENCES = load("/corpus/news.txt");
+  private static final List<String> DIALOGUE = load("/corpus/dialogue.txt");
+
+  private Corpus() {
+  }
+
+  public static List<String> sentences() {
+    return SENTENCES;
+  }
+
+  /** Returns a document made of the first {@code count} corpus sentences, wrapping around. */
+  public static String text(int count) {
+    return text(0, count);
+  }
+
+  /** Returns a document of {@code count} corpus sentences starting at sentence {@code offset}. */
+  public static String text(int offset, int count) {
+    StringBuilder text = new StringBuilder();
+    for (int i = offset; i < offset + count; i++) {
+      if (i > offset) {
+        text.append(i % SENTENCES.size() == 0 ? "\n\n" : " ");
+      }
+      text.append(SENTENCES.get(i % SENTENCES.size()));
+    }
+    return text.toString();
+  }
+
+  /** Returns {@code count} dialogue paragraphs, wrapping around. */
+  public static String dialogue(int count) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        text.append("\n\n");
+      }
+      text.append(DIALOGUE.get(i % DIALOGUE.size()));
+    }
+    return text.toString();
+  }
+
+  private static List<String> load(String resource) {
+    List<String> sentences = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        Corpus.class.getResourceAsStream(resource), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isBlank()) {
+          sentences.add(line.trim());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Collections.unmodifiableList(sentences);
+  }
+}
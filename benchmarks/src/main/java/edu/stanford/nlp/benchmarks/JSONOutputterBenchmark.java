@@ -0,0 +1,50 @@
+package edu.stanford.nlp.benchmarks;
+
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.AnnotationOutputter;
+import edu.stanford.nlp.pipeline.JSONOutputter;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a fully annotated document to a JSON String against
+ * writing it straight to an OutputStream; the allocation difference shows
+ * what callers of {@code jsonPrint(Annotation)} pay for the intermediate String.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+public class JSONOutputterBenchmark {
+
+  @Param({"50", "250"})
+  public int sentences;
+
+  private final JSONOutputter outputter = new JSONOutputter();
+  private final AnnotationOutputter.Options options = new AnnotationOutputter.Options();
+  private final OutputStream sink = OutputStream.nullOutputStream();
+
+  private Annotation document;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    document = new Annotation(Corpus.text(sentences));
+    new StanfordCoreNLP(AnnotatorBenchmark.properties("tokenize,ssplit,pos,lemma,ner,parse")).annotate(document);
+  }
+
+  @Benchmark
+  public String toJsonString() throws IOException {
+    return JSONOutputter.jsonPrint(document);
+  }
+
+  @Benchmark
+  public void toStream() throws IOException {
+    outputter.print(document, sink, options);
+  }
+}
@@ -0,0 +1,67 @@
+package edu.stanford.nlp.benchmarks;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.pipeline.Annotation;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.List;
+
+/**
+ * Emits one {@code corenlp.Annotate} JFR event per annotator and document, so the
+ * costs line up with GC and allocation events in a flight recording
+ * (run with {@code -XX:StartFlightRecording}).
+ */
+public class JfrAnnotatorListener implements AnnotatorListener {
+
+  @Name("corenlp.Annotate")
+  @Label("Annotate")
+  @Category("CoreNLP")
+  @StackTrace(false)
+  static class AnnotateEvent extends Event {
+    @Label("Annotator")
+    String annotator;
+
+    @Label("Wall Time")
+    @Timespan
+    long wallTime;
+
+    @Label("CPU Time")
+    @Timespan
+    long cpuTime;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+
+    @Label("Tokens")
+    int tokens;
+
+    @Label("Sentences")
+    int sentences;
+  }
+
+  @Override
+  public void annotated(String annotator, Annotation document, long wallNanos, long cpuNanos, long allocatedBytes) {
+    AnnotateEvent event = new AnnotateEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    event.annotator = annotator;
+    event.wallTime = wallNanos;
+    event.cpuTime = cpuNanos;
+    event.allocated = allocatedBytes;
+    event.tokens = count(document.get(CoreAnnotations.TokensAnnotation.class));
+    event.sentences = count(document.get(CoreAnnotations.SentencesAnnotation.class));
+    event.commit();
+  }
+
+  private static int count(List<?> list) {
+    return list == null ? 0 : list.size();
+  }
+}
@@ -0,0 +1,46 @@
+package edu.stanford.nlp.benchmarks;
+
+import edu.stanford.nlp.pipeline.Annotation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Annotates corpus documents of varying length through an {@link InstrumentedPipeline}
+ * and writes per-annotator percentiles as CSV.
+ *
+ * <pre>
+ * java -XX:StartFlightRecording=filename=pipeline.jfr \
+ *   -cp benchmarks/target/benchmarks.jar edu.stanford.nlp.benchmarks.PipelineProfiler \
+ *   [annotators] [documents] [maxSentences] [output.csv]
+ * </pre>
+ */
+public class PipelineProfiler {
+
+  public static void main(String[] args) throws IOException {
+    String annotators = args.length > 0 ? args[0]
+        : "tokenize,ssplit,pos,lemma,ner,regexner,parse,sentiment,coref.mention,coref,kbp";
+    int documents = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    int maxSentences = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+    Path output = Paths.get(args.length > 3 ? args[3] : "pipeline-profile.csv");
+
+    InstrumentedPipeline pipeline = new InstrumentedPipeline(AnnotatorBenchmark.properties(annotators));
+    AnnotatorHistograms histograms = new AnnotatorHistograms();
+    pipeline.addListener(histograms);
+    pipeline.addListener(new JfrAnnotatorListener());
+
+    // Fixed seed: the same document lengths on every run and CoreNLP version
+    Random random = new Random(42);
+    int offset = 0;
+    for (int i = 0; i < documents; i++) {
+      int sentences = 1 + random.nextInt(maxSentences);
+      pipeline.annotate(new Annotation(Corpus.text(offset, sentences)));
+      offset += sentences;
+    }
+
+    histograms.writeCsv(output);
+    System.err.println("Wrote per-annotator timings for " + documents + " documents to " + output);
+  }
+}
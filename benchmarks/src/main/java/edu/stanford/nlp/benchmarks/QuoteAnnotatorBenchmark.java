@@ -0,0 +1,69 @@
+package edu.stanford.nlp.benchmarks;
+
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.CoreNLPProtos;
+import edu.stanford.nlp.pipeline.ProtobufAnnotationSerializer;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures QuoteAnnotator on dialogue documents growing to novel length
+ * (6000 paragraphs, roughly 90k words); a throughput that falls faster than
+ * the document grows shows super-linear quote scanning. As in
+ * {@link AnnotatorBenchmark}, {@code gc.alloc.rate.norm} of {@code annotate}
+ * includes the per-invocation document copy; {@link #copy()} measures it alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+public class QuoteAnnotatorBenchmark {
+
+  @Param({"100", "1000", "6000"})
+  public int paragraphs;
+
+  private final ProtobufAnnotationSerializer serializer = new ProtobufAnnotationSerializer(false);
+
+  private StanfordCoreNLP pipeline;
+  private CoreNLPProtos.Document prepared;
+  private Annotation document;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Annotation annotation = new Annotation(Corpus.dialogue(paragraphs));
+    new StanfordCoreNLP(properties("tokenize,ssplit")).annotate(annotation);
+    prepared = serializer.toProto(annotation);
+    // Requirements were satisfied by the pipeline above
+    pipeline = new StanfordCoreNLP(properties("quote"), false);
+  }
+
+  @Setup(Level.Invocation)
+  public void copyDocument() {
+    document = serializer.fromProto(prepared);
+  }
+
+  @Benchmark
+  public Annotation annotate() {
+    pipeline.annotate(document);
+    return document;
+  }
+
+  /** Baseline for {@code -prof gc}: allocates only the per-invocation document copy. */
+  @Benchmark
+  public Annotation copy() {
+    return document;
+  }
+
+  private static Properties properties(String annotators) {
+    Properties props = new Properties();
+    props.setProperty("annotators", annotators);
+    // Attribution needs coref and the quote attribution models; only the scanner is measured
+    props.setProperty("quote.attributeQuotes", "false");
+    return props;
+  }
+}
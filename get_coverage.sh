@@ -2,101 +2,300 @@
 
 set -e
 
-if [ $# -ne 3 ]; then
-  echo "Usage: $0 <input.csv> <test_root_dir> <outputDir>"
+if [ $# -lt 3 ] || [ $# -gt 4 ]; then
+  echo "Usage: $0 <input.csv> <test_root_dir> <outputDir> [jobs]"
   exit 1
 fi
 
 INPUT_CSV="$1"
 TEST_ROOT_DIR="$2"
 OutputDir=coverage/"$3"
+JOBS="${4:-$(nproc)}"
 
-rm -rf ./bin
-mkdir -p bin
-rm -f llm-tests.jar
+BIN_DIR=bin
+MANIFEST="$BIN_DIR/.sources.sha256"
+PARTS_DIR="$OutputDir/parts"
+LOG_DIR="$OutputDir/log"
+
+mkdir -p "$BIN_DIR" "$PARTS_DIR" "$LOG_DIR"
 
 echo "📑 Reading CUTs from: $INPUT_CSV"
 echo "📁 Test root directory: $TEST_ROOT_DIR"
 echo "📁 Output directory: $OutputDir"
+echo "🧵 Parallel CUTs: $JOBS"
 
-# Skip header
-tail -n +2 "$INPUT_CSV" | while IFS=',' read -r PROJECT CLASSNAME CUT_CLASS PACKAGE_PATH; do
-  echo "🔍 CUT: $CUT_CLASS"
-  echo "📦 Looking in package: $PACKAGE_PATH"
-
-  MATCHING_DIRS=$(find "$TEST_ROOT_DIR" -type d -path "*/$PACKAGE_PATH")
+# Read the CSV once (project,class,src,llm_directory) and collect every test
+# source that belongs to one of its CUTs.
+CUTS=()
+SOURCES=()
+declare -A CUT_TESTS
+while IFS=',' read -r PROJECT CUT_CLASS SRC LLM_DIRECTORY; do
+  CLASSNAME="${CUT_CLASS##*.}"
+  CUTS+=("$PROJECT,$CUT_CLASS,$CLASSNAME")
 
-  for DIR in $MATCHING_DIRS; do
-    echo "📂 Searching in: $DIR"
-
-    find "$DIR" -type f -name "${CLASSNAME}_[0-9]*_*Test.java" | while read -r TEST_FILE; do
+  for DIR in $(find "$TEST_ROOT_DIR" -type d -path "*/$LLM_DIRECTORY"); do
+    while read -r TEST_FILE; do
       BASENAME=$(basename "$TEST_FILE" .java)
-
       if [[ "$BASENAME" =~ ${CLASSNAME}_([0-9]+)_([A-Za-z0-9]+Test) ]]; then
-        INDEX="${BASH_REMATCH[1]}"
-        SUFFIX="${BASH_REMATCH[2]}"
-        echo "🔢 Found test: $BASENAME (index: $INDEX, suffix: $SUFFIX)"
-
-        if [[ "$SUFFIX" == "ESTest" ]]; then
+        SOURCES+=("$TEST_FILE")
+        CUT_TESTS[$CUT_CLASS]+="$TEST_FILE"$'\n'
+        if [[ "${BASH_REMATCH[2]}" == "ESTest" ]]; then
           SCAFFOLDING_FILE="${TEST_FILE/_ESTest.java/_ESTest_scaffolding.java}"
           if [[ -f "$SCAFFOLDING_FILE" ]]; then
-            echo "  ⤷ Compiling EvoSuite test + scaffolding"
-            javac -cp "lib/*" -d bin "$TEST_FILE" "$SCAFFOLDING_FILE"
+            SOURCES+=("$SCAFFOLDING_FILE")
           else
-            echo "  ⚠️  Scaffolding missing for $TEST_FILE"
+            echo "⚠️  Scaffolding missing for $TEST_FILE"
           fi
-        else
-          echo "  ⤷ Compiling general/manual test"
-          javac -cp "lib/*" -d bin "$TEST_FILE"
         fi
       else
         echo "⚠️  Could not extract test index or suffix from: $BASENAME"
       fi
-    done
+    done < <(find "$DIR" -type f -name "${CLASSNAME}_[0-9]*_*Test.java")
   done
+done < <(tail -n +2 "$INPUT_CSV")
+
+echo "🔢 Found ${#CUTS[@]} CUTs and ${#SOURCES[@]} test sources"
+
+NEW_TOOLCHAIN=$(mktemp)
+NEW_MANIFEST=$(mktemp)
+CHANGED=$(mktemp)
+trap 'rm -f "$NEW_TOOLCHAIN" "$NEW_MANIFEST" "$CHANGED" "$CHANGED.args" "$NEW_INDEX"' EXIT
+
+# Classes compiled against other lib/ jars (e.g. another CoreNLP or EvoSuite
+# runtime) or by another javac are not reused: start from an empty bin/.
+TOOLCHAIN="$BIN_DIR/.toolchain.sha256"
+REBUILT=0
+{ javac -version 2>&1; sha256sum lib/*.jar 2>/dev/null || true; } > "$NEW_TOOLCHAIN"
+if ! cmp -s "$NEW_TOOLCHAIN" "$TOOLCHAIN"; then
+  echo "🔄 lib/ jars or javac changed, rebuilding all test classes"
+  rm -rf "$BIN_DIR"
+  mkdir -p "$BIN_DIR"
+  REBUILT=1
+fi
+
+# Only recompile sources whose content changed since the last run.
+touch "$MANIFEST"
+
+if [ ${#SOURCES[@]} -gt 0 ]; then
+  sha256sum "${SOURCES[@]}" > "$NEW_MANIFEST"
+fi
+grep -vxFf "$MANIFEST" "$NEW_MANIFEST" | cut -d' ' -f3- > "$CHANGED" || true
+
+COMPILED=0
+FAILED=0
+if [ -s "$CHANGED" ]; then
+  echo "⤷ Compiling $(wc -l < "$CHANGED") changed test sources in one javac pass"
+  sed 's/.*/"&"/' "$CHANGED" > "$CHANGED.args"
+  if javac -nowarn -encoding UTF-8 -cp "lib/*" -d "$BIN_DIR" @"$CHANGED.args" > "$LOG_DIR/javac.log" 2>&1; then
+    COMPILED=$(wc -l < "$CHANGED")
+  else
+    # One broken test must not block the rest: retry file by file.
+    echo "⚠️  Batch compilation failed, isolating broken sources (see $LOG_DIR/javac.log)"
+    while read -r TEST_FILE; do
+      if [[ "$TEST_FILE" == *_ESTest_scaffolding.java ]]; then
+        continue
+      fi
+      FILES=("$TEST_FILE")
+      SCAFFOLDING_FILE="${TEST_FILE/_ESTest.java/_ESTest_scaffolding.java}"
+      if [[ "$TEST_FILE" == *_ESTest.java && -f "$SCAFFOLDING_FILE" ]]; then
+        FILES+=("$SCAFFOLDING_FILE")
+      fi
+      if javac -nowarn -encoding UTF-8 -cp "lib/*:$BIN_DIR" -d "$BIN_DIR" "${FILES[@]}" >> "$LOG_DIR/javac.log" 2>&1; then
+        COMPILED=$((COMPILED + ${#FILES[@]}))
+      else
+        echo "  ❌ $TEST_FILE"
+        FAILED=$((FAILED + 1))
+        for FILE in "${FILES[@]}"; do
+          grep -vF "  $FILE" "$NEW_MANIFEST" > "$NEW_MANIFEST.tmp" || true
+          mv "$NEW_MANIFEST.tmp" "$NEW_MANIFEST"
+        done
+      fi
+    done < "$CHANGED"
+  fi
+fi
+cp "$NEW_MANIFEST" "$MANIFEST"
+cp "$NEW_TOOLCHAIN" "$TOOLCHAIN"
+
+echo "✅ Compiled $COMPILED sources ($FAILED failed, $(( ${#SOURCES[@]} - $(wc -l < "$CHANGED") )) unchanged)"
 
-  # Create JAR with all compiled test classes
-  echo "📦 Packaging llm-tests.jar"
-  jar cf llm-tests.jar -C bin edu
+# Class file path (without .class) that a test source compiles to.
+class_path() {
+  local PACKAGE
+  PACKAGE=$(sed -n 's/^[[:space:]]*package[[:space:]]\{1,\}\([A-Za-z0-9_.]\{1,\}\)[[:space:]]*;.*/\1/p' "$1" | head -n 1)
+  if [ -n "$PACKAGE" ]; then
+    echo "${PACKAGE//.//}/$(basename "$1" .java)"
+  else
+    basename "$1" .java
+  fi
+}
 
-  # Run coverage on all matching compiled test classes
-  find bin -name "${CLASSNAME}_[0-9]*_*Test.class" | while read -r CLASS_FILE; do
-    TEST_CLASS=$(echo "$CLASS_FILE" | sed 's|bin/||;s|/|.|g;s|.class$||')
-    TEST_INDEX=$(echo "$TEST_CLASS" | grep -oE "${CLASSNAME}_[0-9]+" | grep -oE "[0-9]+")
+declare -A COMPILED_SOURCES
+while read -r HASH TEST_FILE; do
+  COMPILED_SOURCES[$TEST_FILE]=1
+done < "$MANIFEST"
 
-    echo "🧪 Running coverage for $TEST_CLASS (index: $TEST_INDEX)"
+# bin/ is kept between runs: drop the classes of sources that were deleted or
+# no longer compile, so they are neither packaged nor measured.
+CLASS_INDEX="$BIN_DIR/.sources.classes"
+touch "$CLASS_INDEX"
+NEW_INDEX=$(mktemp)
+for TEST_FILE in "${SOURCES[@]}"; do
+  printf '%s\t%s\n' "$TEST_FILE" "$(class_path "$TEST_FILE")"
+done > "$NEW_INDEX"
 
-    sourceDir="binary/$PROJECT/"
-    # Source properties
-    if [ -f "${sourceDir}/evosuite-files/evosuite.properties" ]; then
-      source ${sourceDir}/evosuite-files/evosuite.properties
-    else
-      echo "Warning: evosuite.properties file not found in $PROJECT."
+REMOVED=0
+while IFS=$'\t' read -r TEST_FILE CLASS_PATH; do
+  if [ -z "${COMPILED_SOURCES[$TEST_FILE]}" ] && [ -f "$BIN_DIR/$CLASS_PATH.class" ]; then
+    echo "  🗑️  Removing stale classes of $TEST_FILE"
+    rm -f "$BIN_DIR/$CLASS_PATH.class" "$BIN_DIR/$CLASS_PATH"\$*.class
+    REMOVED=$((REMOVED + 1))
+  fi
+done < <(cat "$CLASS_INDEX" "$NEW_INDEX")
+mv "$NEW_INDEX" "$CLASS_INDEX"
+
+if [ "$COMPILED" -gt 0 ] || [ "$REMOVED" -gt 0 ] || [ "$REBUILT" -eq 1 ] || [ ! -f llm-tests.jar ]; then
+  rm -f llm-tests.jar
+  if [ -d "$BIN_DIR/edu" ]; then
+    echo "📦 Packaging llm-tests.jar"
+    jar cf llm-tests.jar -C "$BIN_DIR" edu
+  fi
+fi
+
+run_coverage() {
+  local PROJECT="$1" CUT_CLASS="$2" CLASS_FILE="$3" TEST_INDEX="$4" REPORT_DIR="$5"
+  local sourceDir="binary/$PROJECT/"
+  local CP=""
+
+  # Source properties
+  if [ -f "${sourceDir}/evosuite-files/evosuite.properties" ]; then
+    source ${sourceDir}/evosuite-files/evosuite.properties
+  else
+    echo "Warning: evosuite.properties file not found in $PROJECT."
+  fi
+
+  java \
+    "${CDS_OPTS[@]}" \
+    -Devosuite.runtime.sandbox=false \
+    -Devosuite.runtime.mock=false \
+    --add-opens java.base/java.lang=ALL-UNNAMED \
+    --add-opens java.base/java.lang.reflect=ALL-UNNAMED \
+    --add-opens java.base/java.util=ALL-UNNAMED \
+    --add-opens java.base/java.net=ALL-UNNAMED \
+    --add-opens java.desktop/java.awt=ALL-UNNAMED \
+    -jar llmsuite-coverage.jar \
+    -projectCP "$sourceDir/$CP:llm-tests.jar" \
+    -class "$CUT_CLASS" \
+    -Djunit "$CLASS_FILE" \
+    -Dcriterion=BRANCH:LINE:CBRANCH \
+    -Doutput_variables=TARGET_CLASS,attempt,criterion,Coverage,Total_Goals,BranchCoverage,LineCoverage,CBranchCoverage,Covered_Goals,Tests_Executed \
+    -Dminimize=false -Dcoverage=false -Dtest_format=JUNIT4 \
+    -Ddefuse_debug_mode=true \
+    -Dattempt="$TEST_INDEX" \
+    -Dreport_dir="$REPORT_DIR"
+}
+
+# Compiled test sources of one CUT. Only the tests collected for that CUT:
+# other CUTs may share its simple name (coref.data.Mention and dcoref.Mention).
+compiled_tests() {
+  local TEST_FILE
+  while read -r TEST_FILE; do
+    if [ -n "$TEST_FILE" ] && [ -n "${COMPILED_SOURCES[$TEST_FILE]}" ]; then
+      echo "$TEST_FILE"
     fi
+  done <<< "${CUT_TESTS[$1]}"
+}
 
+run_test() {
+  local PROJECT="$1" CUT_CLASS="$2" CLASSNAME="$3" TEST_FILE="$4"
+  local LOG_FILE="$LOG_DIR/$CUT_CLASS.log"
+  local CLASS_PATH TEST_CLASS TEST_INDEX
 
-    java \
-      -Devosuite.runtime.sandbox=false \
-      -Devosuite.runtime.mock=false \
-      --add-opens java.base/java.lang=ALL-UNNAMED \
-      --add-opens java.base/java.lang.reflect=ALL-UNNAMED \
-      --add-opens java.base/java.util=ALL-UNNAMED \
-      --add-opens java.base/java.net=ALL-UNNAMED \
-      --add-opens java.desktop/java.awt=ALL-UNNAMED \
-      -jar llmsuite-coverage.jar \
-      -projectCP "$sourceDir/$CP:llm-tests.jar" \
-      -class "$CUT_CLASS" \
-      -Djunit "$CLASS_FILE" \
-      -Dcriterion=BRANCH:LINE:CBRANCH \
-      -Doutput_variables=TARGET_CLASS,attempt,criterion,Coverage,Total_Goals,BranchCoverage,LineCoverage,CBranchCoverage,Covered_Goals,Tests_Executed \
-      -Dminimize=false -Dcoverage=false -Dtest_format=JUNIT4 \
-      -Ddefuse_debug_mode=true \
-      -Dattempt="$TEST_INDEX" \
-      -Dreport_dir=$OutputDir
-  done
+  CLASS_PATH=$(class_path "$TEST_FILE")
+  TEST_CLASS="${CLASS_PATH//\//.}"
+  TEST_INDEX=$(basename "$TEST_FILE" | grep -oE "${CLASSNAME}_[0-9]+" | grep -oE "[0-9]+")
+
+  echo "🧪 Running coverage for $TEST_CLASS (index: $TEST_INDEX)" >> "$LOG_FILE"
+  if ! run_coverage "$PROJECT" "$CUT_CLASS" "$BIN_DIR/$CLASS_PATH.class" "$TEST_INDEX" "$PARTS_DIR/$CUT_CLASS" >> "$LOG_FILE" 2>&1; then
+    echo "⚠️  Coverage failed for $TEST_CLASS" | tee -a "$LOG_FILE"
+  fi
+}
+
+# Tests of one CUT run one after another; different CUTs run side by side.
+# Every CUT reports into its own directory so concurrent JVMs never append
+# to the same statistics.csv.
+run_cut() {
+  local PROJECT="$1" CUT_CLASS="$2" CLASSNAME="$3"
+  local TEST_FILE
+
+  while read -r TEST_FILE; do
+    [ "$TEST_FILE" != "$CDS_TRAINED" ] || continue
+    run_test "$PROJECT" "$CUT_CLASS" "$CLASSNAME" "$TEST_FILE"
+  done < <(compiled_tests "$CUT_CLASS")
 
   echo "✅ Done for $CUT_CLASS"
-  echo "---------------------------------------------"
+}
+
+for CUT in "${CUTS[@]}"; do
+  IFS=',' read -r PROJECT CUT_CLASS CLASSNAME <<< "$CUT"
+  rm -rf "${PARTS_DIR:?}/$CUT_CLASS"
+  : > "$LOG_DIR/$CUT_CLASS.log"
+done
+
+# Every worker JVM maps the same class-data sharing archive of the JDK and
+# llmsuite-coverage.jar classes instead of loading and verifying them again.
+# The archive is built once and reused until the jar changes; -Xshare:auto
+# silently falls back if it cannot be mapped. The class list is recorded
+# while running the first test for real, so training costs no extra job.
+CDS_LIST=llmsuite-coverage.classlist
+CDS_ARCHIVE=llmsuite-coverage.jsa
+CDS_OPTS=()
+CDS_TRAINED=""
+if [ ! -f "$CDS_ARCHIVE" ] || [ llmsuite-coverage.jar -nt "$CDS_ARCHIVE" ]; then
+  TEST_FILE=""
+  for CUT in "${CUTS[@]}"; do
+    IFS=',' read -r PROJECT CUT_CLASS CLASSNAME <<< "$CUT"
+    TEST_FILE=$(compiled_tests "$CUT_CLASS" | head -n 1)
+    [ -z "$TEST_FILE" ] || break
+  done
+  if [ -n "$TEST_FILE" ]; then
+    echo "🔥 Building class-data sharing archive while running $TEST_FILE"
+    CDS_OPTS=(-Xshare:off -XX:DumpLoadedClassList="$CDS_LIST")
+    run_test "$PROJECT" "$CUT_CLASS" "$CLASSNAME" "$TEST_FILE"
+    CDS_TRAINED="$TEST_FILE"
+    java -Xshare:dump -XX:SharedClassListFile="$CDS_LIST" -XX:SharedArchiveFile="$CDS_ARCHIVE" \
+      -cp llmsuite-coverage.jar > "$LOG_DIR/cds.log" 2>&1 || rm -f "$CDS_ARCHIVE"
+  fi
+fi
+if [ -f "$CDS_ARCHIVE" ]; then
+  CDS_OPTS=(-Xshare:auto -XX:SharedArchiveFile="$CDS_ARCHIVE")
+else
+  CDS_OPTS=()
+  echo "⚠️  Running without class-data sharing archive (see $LOG_DIR/cds.log)"
+fi
+
+for CUT in "${CUTS[@]}"; do
+  IFS=',' read -r PROJECT CUT_CLASS CLASSNAME <<< "$CUT"
+  while [ "$(jobs -rp | wc -l)" -ge "$JOBS" ]; do
+    wait -n || true
+  done
+  echo "🔍 CUT: $CUT_CLASS"
+  run_cut "$PROJECT" "$CUT_CLASS" "$CLASSNAME" &
+done
+wait
 
+# Merge the reports of this run's CUTs into a fresh file, keeping a single header.
+STATISTICS="$OutputDir/statistics.csv"
+: > "$STATISTICS"
+for CUT in "${CUTS[@]}"; do
+  IFS=',' read -r PROJECT CUT_CLASS CLASSNAME <<< "$CUT"
+  PART="$PARTS_DIR/$CUT_CLASS/statistics.csv"
+  [ -f "$PART" ] || continue
+  if [ -s "$STATISTICS" ]; then
+    tail -n +2 "$PART" >> "$STATISTICS"
+  else
+    cat "$PART" > "$STATISTICS"
+  fi
 done
 
+echo "📊 Coverage written to $STATISTICS"
+echo "---------------------------------------------"
@@ -0,0 +1,26 @@
+#!/bin/bash
+
+# Measures how one annotator scales with <annotator>.nthreads on long documents,
+# e.g. NERCombinerAnnotator decoding the sentences of a document concurrently.
+# Results go next to the EvoSuite reports like run-benchmarks.sh.
+
+if [ $# -lt 1 ]; then
+  reportDir="evosuite/evosuite-report"
+else
+  reportDir="$1"
+fi
+
+annotator="${2:-ner}"
+threads="${3:-1,2,4,8,16}"
+corenlpVersion="${4:-4.5.7}"
+
+mkdir -p "$reportDir"
+
+echo "Building benchmarks against CoreNLP $corenlpVersion"
+mvn -B -q -f benchmarks/pom.xml -Dcorenlp.version="$corenlpVersion" package || exit 1
+
+java -jar benchmarks/target/benchmarks.jar AnnotatorBenchmark.throughput \
+  -p annotator="$annotator" \
+  -p sentences=250 \
+  -p threads="$threads" \
+  -rf csv -rff "$reportDir/scaling-$annotator-corenlp-$corenlpVersion.csv"
@@ -0,0 +1,24 @@
+#!/bin/bash
+
+# Benchmarks the CoreNLP classes in all-classes.csv and writes the JMH results
+# (ops/s, p99 latency, gc.alloc.rate.norm) as CSV next to the EvoSuite reports,
+# one file per CoreNLP version. Extra arguments go to JMH, e.g. a benchmark
+# name to run only that one.
+
+if [ $# -lt 1 ]; then
+  reportDir="evosuite/evosuite-report"
+else
+  reportDir="$1"
+fi
+
+corenlpVersion="${2:-4.5.7}"
+
+mkdir -p "$reportDir"
+
+echo "Building benchmarks against CoreNLP $corenlpVersion"
+mvn -B -q -f benchmarks/pom.xml -Dcorenlp.version="$corenlpVersion" package || exit 1
+
+java -jar benchmarks/target/benchmarks.jar \
+  -prof gc \
+  -rf csv -rff "$reportDir/benchmarks-corenlp-$corenlpVersion.csv" \
+  "${@:3}"
@@ -7,7 +7,7 @@ echo "RUNNING ON THE $direction DATASET"
 if [ $# -lt 2 ]; then
   fileDirectory="all-classes"
 else
-  fileDirectory="$1-classes"
+  fileDirectory="$2"
 fi
 
 if [ $# -lt 1 ]; then
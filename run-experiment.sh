@@ -5,6 +5,12 @@ ATTEMPT=$2
 
 echo $INPUT_TYPE $ATTEMPT
 
+if [ "$ATTEMPT" == "queue" ]; then
+    echo "Pulling $INPUT_TYPE jobs from the shared queue..."
+    /app/run-worker.sh "$INPUT_TYPE"
+    exit $?
+fi
+
 if [ "$INPUT_TYPE" == "llmsuite" ]; then
     if [ -z "$ATTEMPT" ]; then
         echo "No attempt specified. Running LLMSuite multiple..."
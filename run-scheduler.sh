@@ -0,0 +1,129 @@
+#!/bin/bash
+
+# Runs (class x attempt) jobs from a shared queue instead of one attempt per
+# container, so containers that finish cheap classes keep pulling work.
+
+if [ $# -lt 1 ]; then
+  echo "Usage: $0 <evo|llmsuite> [attempts] [input.csv]"
+  exit 1
+fi
+
+INPUT_TYPE=$1
+ATTEMPTS="${2:-5}"
+INPUT_CSV="${3:-all-classes.csv}"
+
+# Number of containers
+NUM_CONTAINERS=5
+
+# CPU cores per container
+CPUS_PER_CONTAINER=6
+
+# Memory per container
+MEMORY="16g"
+
+# Starting CPU core index
+START_CPU=0
+
+# Base image
+IMAGE_NAME="llmsuite-experiment-image"
+
+# Seconds a job may run before it is handed back to the queue
+JOB_TIMEOUT=3600
+
+# How often a job is retried before it is moved to failed/
+MAX_RETRIES=2
+
+if [ "$INPUT_TYPE" == "llmsuite" ]; then
+  CONTAINER_PREFIX="llmsuite"
+  OUTPUT_DIR="$(pwd)/output/llmsuite"
+  CONTAINER_VOLUME="/app/dataset/llmsuite"
+else
+  CONTAINER_PREFIX="evo"
+  OUTPUT_DIR="$(pwd)/output/evosuite"
+  CONTAINER_VOLUME="/app/dataset/evosuite"
+fi
+
+QUEUE_DIR="$OUTPUT_DIR/queue"
+
+rm -rf "$QUEUE_DIR"
+mkdir -p "$QUEUE_DIR/pending" "$QUEUE_DIR/running" "$QUEUE_DIR/requeue" "$QUEUE_DIR/done" "$QUEUE_DIR/failed"
+
+# One job file per (attempt, class): attempt,project,class,src,llm_directory
+for attempt in $(seq 1 "$ATTEMPTS"); do
+  while IFS="," read -r proj class src llm_test; do
+    echo "$attempt,$proj,$class,$src,$llm_test" > "$QUEUE_DIR/pending/$attempt-$class"
+  done < <(tail -n +2 "$INPUT_CSV")
+done
+
+echo "Queued $(ls "$QUEUE_DIR/pending" | wc -l) jobs in $QUEUE_DIR"
+
+for i in $(seq 1 $NUM_CONTAINERS); do
+  # Calculate core range
+  CPU_START=$((START_CPU + (i - 1) * CPUS_PER_CONTAINER))
+  CPU_END=$((CPU_START + CPUS_PER_CONTAINER - 1))
+
+  # Volume path
+  HOST_VOLUME="$OUTPUT_DIR/$i"
+
+  # Ensure the host directory exists
+  mkdir -p "$HOST_VOLUME"
+
+  echo "Starting container $CONTAINER_PREFIX-$i with CPUs $CPU_START-$CPU_END..."
+
+  docker run -d \
+    --cpus="$CPUS_PER_CONTAINER" \
+    --cpuset-cpus="$CPU_START-$CPU_END" \
+    --memory="$MEMORY" \
+    --memory-swap="$MEMORY" \
+    --restart on-failure \
+    -e WORKER_ID="$CONTAINER_PREFIX-$i" \
+    -e JOB_TIMEOUT="$JOB_TIMEOUT" \
+    -e MAX_RETRIES="$MAX_RETRIES" \
+    -v "$HOST_VOLUME":"$CONTAINER_VOLUME" \
+    -v "$QUEUE_DIR":/app/queue \
+    --name "$CONTAINER_PREFIX-$i" \
+    "$IMAGE_NAME" \
+    "$INPUT_TYPE" queue
+done
+
+# Hand back jobs whose container is gone or that overran the timeout by far;
+# the workers themselves re-queue jobs that fail or hit JOB_TIMEOUT.
+while ls "$QUEUE_DIR"/pending/* "$QUEUE_DIR"/running/* "$QUEUE_DIR"/requeue/* > /dev/null 2>&1; do
+  sleep 60
+
+  for job in "$QUEUE_DIR"/running/*; do
+    [ -f "$job" ] || continue
+    worker="${job##*.}"
+    mtime=$(stat -c %Y "$job" 2>/dev/null) || continue
+    age=$(( $(date +%s) - mtime ))
+
+    if [ "$(docker inspect -f '{{.State.Running}}' "$worker" 2>/dev/null)" != "true" ] \
+        || [ "$age" -gt $((JOB_TIMEOUT + 300)) ]; then
+      name=$(basename "$job" ".$worker")
+      # Claim the job first: its worker may be finishing or re-queueing it
+      # right now, and only one rename can win.
+      held="$QUEUE_DIR/requeue/$name"
+      mv "$job" "$held" 2>/dev/null || continue
+      if [ $(($(wc -l < "$held") - 1)) -ge "$MAX_RETRIES" ]; then
+        echo "Giving up on $name"
+        mv "$held" "$QUEUE_DIR/failed/$name"
+      else
+        echo "Re-queueing $name from $worker"
+        echo "retry" >> "$held"
+        # Never replace a job that is already queued under the same name
+        mv -n "$held" "$QUEUE_DIR/pending/$name"
+        if [ -f "$held" ]; then
+          echo "$name is already pending, dropping the duplicate"
+          rm -f "$held"
+        fi
+      fi
+    fi
+  done
+
+  echo "$(date '+%H:%M:%S') pending: $(ls "$QUEUE_DIR/pending" | wc -l)," \
+    "running: $(ls "$QUEUE_DIR/running" | wc -l)," \
+    "done: $(ls "$QUEUE_DIR/done" | wc -l)," \
+    "failed: $(ls "$QUEUE_DIR/failed" | wc -l)"
+done
+
+echo "All jobs finished. Failed jobs are listed in $QUEUE_DIR/failed"
@@ -0,0 +1,88 @@
+#!/bin/bash
+
+# Pulls (class, attempt) jobs from the shared queue written by run-scheduler.sh
+# until the queue is drained.
+
+INPUT_TYPE=$1
+
+QUEUE_DIR="${QUEUE_DIR:-/app/queue}"
+WORKER_ID="${WORKER_ID:-$(hostname)}"
+JOB_TIMEOUT="${JOB_TIMEOUT:-3600}"
+MAX_RETRIES="${MAX_RETRIES:-2}"
+POLL_INTERVAL=10
+
+if [ "$INPUT_TYPE" == "llmsuite" ]; then
+  main_script="/app/run-llmsuite-files.sh"
+else
+  main_script="/app/run-evo.sh"
+fi
+
+# The scheduler may hand back the same job at the same time, so claim it with
+# an atomic rename before counting or appending; the loser leaves it alone.
+requeue() {
+  local job_name held
+  job_name=$(basename "$1" ".$WORKER_ID")
+  held="$QUEUE_DIR/requeue/$job_name"
+  mv "$1" "$held" 2>/dev/null || return 0
+  if [ $(($(wc -l < "$held") - 1)) -ge "$MAX_RETRIES" ]; then
+    mv "$held" "$QUEUE_DIR/failed/$job_name"
+  else
+    echo "retry" >> "$held"
+    # Never replace a job that is already queued under the same name
+    mv -n "$held" "$QUEUE_DIR/pending/$job_name"
+    if [ -f "$held" ]; then
+      echo "Job $job_name is already pending, dropping the duplicate."
+      rm -f "$held"
+    fi
+  fi
+}
+
+mkdir -p "$QUEUE_DIR/requeue"
+
+# Jobs this worker still holds come from a previous run of the container
+# that crashed; give them back before pulling new ones.
+for job in "$QUEUE_DIR"/running/*."$WORKER_ID"; do
+  [ -f "$job" ] && requeue "$job"
+done
+
+while true; do
+  claimed=""
+  for job in "$QUEUE_DIR"/pending/*; do
+    [ -f "$job" ] || continue
+    name=$(basename "$job")
+    # Refresh the mtime before the rename, so the scheduler never sees the
+    # claimed job with its old queueing time; -c leaves a lost job uncreated.
+    touch -c "$job"
+    # rename is atomic, so only one worker wins each job
+    if mv "$job" "$QUEUE_DIR/running/$name.$WORKER_ID" 2>/dev/null; then
+      claimed="$QUEUE_DIR/running/$name.$WORKER_ID"
+      break
+    fi
+  done
+
+  if [ -z "$claimed" ]; then
+    # Nothing to pull; stay around while other workers may still hand jobs back.
+    if ls "$QUEUE_DIR"/running/* "$QUEUE_DIR"/requeue/* > /dev/null 2>&1; then
+      sleep $POLL_INTERVAL
+      continue
+    fi
+    echo "Queue drained, worker $WORKER_ID exiting."
+    exit 0
+  fi
+
+  IFS="," read -r attempt proj class src llm_test < "$claimed"
+  echo "==============================="
+  echo " $WORKER_ID: $class (attempt $attempt) "
+  echo "==============================="
+
+  jobCsv="/tmp/job-$WORKER_ID"
+  echo "project,class,src,llm_directory" > "$jobCsv.csv"
+  echo "$proj,$class,$src,$llm_test" >> "$jobCsv.csv"
+
+  if timeout "$JOB_TIMEOUT" bash "$main_script" "$attempt" "$jobCsv"; then
+    mv "$claimed" "$QUEUE_DIR/done/$name" 2>/dev/null
+  elif [ -f "$claimed" ]; then
+    echo "Job $name failed or timed out, handing it back."
+    requeue "$claimed"
+  fi
+done